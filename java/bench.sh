@@ -0,0 +1,68 @@
+#!/bin/bash
+
+set -e
+
+# Compare startup time and resident memory of the plain jar, the jar with an
+# AppCDS archive (JDK 13+), and the native image, if one has been built. MPD
+# must be running on localhost, and nothing else may be listening on the port.
+#
+# Build first with `mvn clean compile assembly:single`, or with
+# `mvn -P fast-startup package` to include the native image.
+port=8888
+jar=$(find target -maxdepth 1 -name '*-with-dependencies.jar')
+jsa=target/mpd-webthing.jsa
+
+if [ -z "${jar}" ]; then
+    echo "Build with 'mvn clean compile assembly:single' first." >&2
+    exit 1
+fi
+
+# Check whether something is accepting connections on the port.
+listening() {
+    (exec 3<>"/dev/tcp/localhost/${port}") 2>/dev/null
+}
+
+# Start a command, wait until the thing answers, and print the label, elapsed
+# milliseconds and RSS in KiB.
+measure() {
+    local label="$1" start end pid rss
+    shift
+
+    # Otherwise a running instance would answer instead of the measured one.
+    if listening; then
+        echo "Port ${port} is already in use; stop the running service." >&2
+        exit 1
+    fi
+
+    start=$(date +%s%N)
+    "$@" >/dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf "http://localhost:${port}/" >/dev/null; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "Process exited before serving requests: $*" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+
+    end=$(date +%s%N)
+    rss=$(awk '/^VmRSS:/ { print $2 }' "/proc/${pid}/status")
+
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+
+    printf '%-8s %8d ms %8d KiB\n' "${label}" $(((end - start) / 1000000)) "${rss}"
+}
+
+# Record a fresh AppCDS archive before measuring with it. It is written when
+# the JVM exits.
+rm -f "${jsa}"
+measure cds java -XX:ArchiveClassesAtExit="${jsa}" -jar "${jar}" >/dev/null
+
+printf '%-8s %11s %12s\n' "variant" "startup" "rss"
+measure jar java -jar "${jar}"
+measure cds java -XX:SharedArchiveFile="${jsa}" -jar "${jar}"
+if [ -x target/mpd-webthing ]; then
+    measure native target/mpd-webthing
+fi
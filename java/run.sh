@@ -2,6 +2,70 @@
 
 set -e
 
-mvn clean compile assembly:single
-jar=$(find target -maxdepth 1 -name '*-with-dependencies.jar')
-java -jar "${jar}"
+# Usage: ./run.sh [jar|cds|native|agent]
+#
+#   jar    - rebuild and run the plain jar (default)
+#   cds    - run the jar with an AppCDS archive, which is recorded when the
+#            first run exits and reused afterwards (requires JDK 13+)
+#   native - run the GraalVM native image (requires GraalVM and the configs
+#            recorded by the agent mode to build)
+#   agent  - run the jar under the GraalVM native-image-agent, merging the
+#            reflection, resource and proxy configs it records into
+#            src/main/resources so the native image can be rebuilt from them
+#
+# The cds and native modes only rebuild when their artifact is missing or
+# older than the sources, so restarts skip the Maven run.
+mode="${1:-jar}"
+jsa=target/mpd-webthing.jsa
+config=src/main/resources/META-INF/native-image/com.github.mrstegeman/mpdwebthing
+
+# Check whether an artifact is missing or older than the sources.
+stale() {
+    [ ! -e "$1" ] || [ -n "$(find src pom.xml -newer "$1" -print -quit)" ]
+}
+
+find_jar() {
+    find target -maxdepth 1 -name '*-with-dependencies.jar' 2>/dev/null
+}
+
+case "${mode}" in
+    jar)
+        mvn clean compile assembly:single
+        java -jar "$(find_jar)"
+        ;;
+    cds)
+        jar=$(find_jar)
+        if [ -z "${jar}" ] || stale "${jar}"; then
+            mvn clean compile assembly:single
+            jar=$(find_jar)
+        fi
+
+        # An archive recorded from an older jar can't be used.
+        if [ -f "${jsa}" ] && [ "${jsa}" -ot "${jar}" ]; then
+            rm -f "${jsa}"
+        fi
+
+        if [ -f "${jsa}" ]; then
+            exec java -XX:SharedArchiveFile="${jsa}" -jar "${jar}"
+        else
+            # The archive is written when the JVM exits, including on SIGTERM.
+            exec java -XX:ArchiveClassesAtExit="${jsa}" -jar "${jar}"
+        fi
+        ;;
+    native)
+        if stale target/mpd-webthing; then
+            mvn -P fast-startup clean package
+        fi
+        exec target/mpd-webthing
+        ;;
+    agent)
+        mvn clean compile assembly:single
+        exec java \
+            -agentlib:native-image-agent=config-merge-dir="${config}" \
+            -jar "$(find_jar)"
+        ;;
+    *)
+        echo "Unknown mode: ${mode}" >&2
+        exit 1
+        ;;
+esac
@@ -10,6 +10,7 @@ import org.apache.commons.collections.map.HashedMap;
 import org.bff.javampd.file.MPDFile;
 import org.bff.javampd.monitor.StandAloneMonitor;
 import org.bff.javampd.player.PlayerBasicChangeEvent;
+import org.bff.javampd.player.TrackPositionChangeEvent;
 import org.bff.javampd.player.VolumeChangeEvent;
 import org.bff.javampd.playlist.PlaylistBasicChangeEvent;
 import org.bff.javampd.server.MPD;
@@ -33,6 +34,12 @@ import java.util.UUID;
  * MPD client represented as a Web Thing.
  */
 public class MPDThing extends Thing {
+    /**
+     * Number of seconds the interpolated elapsed time may drift from MPD's
+     * before a correction is pushed to clients.
+     */
+    private static final long ELAPSED_DRIFT_THRESHOLD = 2;
+
     private MPD client;
     private StandAloneMonitor monitor;
     private Value stateValue;
@@ -42,6 +49,13 @@ public class MPDThing extends Thing {
     private Value volumeValue;
     private Value repeatValue;
     private Value randomValue;
+    private Value elapsedValue;
+    private Value durationValue;
+    private Property elapsedProperty;
+    private long elapsedReference;
+    private long elapsedTimestamp;
+    private long elapsedDuration;
+    private String elapsedState;
 
     /**
      * Initialize the thing.
@@ -64,12 +78,17 @@ public class MPDThing extends Thing {
             this.updateAlbum(this.getAlbum(song));
             this.updateArtist(this.getArtist(song));
             this.updateTitle(this.getTitle(song));
+            this.updateElapsed(null);
         });
         this.monitor.addPlayerChangeListener((PlayerBasicChangeEvent event) -> {
             ServerStatus status = this.getStatus();
             this.updateState(status);
             this.updateRepeat(status);
             this.updateRandom(status);
+            this.updateElapsed(status);
+        });
+        this.monitor.addTrackPositionChangeListener((TrackPositionChangeEvent event) -> {
+            this.correctElapsed(event.getElapsedTime());
         });
         this.monitor.addVolumeChangeListener((VolumeChangeEvent event) -> {
             this.updateVolume(event.getVolume());
@@ -85,6 +104,7 @@ public class MPDThing extends Thing {
                     this.updateState(status);
                     this.updateRepeat(status);
                     this.updateRandom(status);
+                    this.refreshElapsed(status);
                 } catch (InterruptedException e) {
                     break;
                 }
@@ -148,6 +168,36 @@ public class MPDThing extends Thing {
                                       this.stateValue,
                                       stateMetadata));
 
+        // Add an 'elapsed' property. Reads are interpolated locally from the
+        // last reference point, so updates are only pushed on corrections.
+        JSONObject elapsedMetadata = new JSONObject();
+        elapsedMetadata.put("type", "integer");
+        elapsedMetadata.put("description", "Elapsed time of current song");
+        elapsedMetadata.put("minimum", 0);
+        elapsedMetadata.put("unit", "second");
+        elapsedMetadata.put("label", "Elapsed");
+        elapsedMetadata.put("readOnly", true);
+        this.setElapsedReference(status);
+        this.elapsedValue = new Value(status.getElapsedTime());
+        this.elapsedProperty = new ElapsedProperty(this,
+                                                   this.elapsedValue,
+                                                   elapsedMetadata);
+        this.addProperty(this.elapsedProperty);
+
+        // Add a 'duration' property.
+        JSONObject durationMetadata = new JSONObject();
+        durationMetadata.put("type", "integer");
+        durationMetadata.put("description", "Duration of current song");
+        durationMetadata.put("minimum", 0);
+        durationMetadata.put("unit", "second");
+        durationMetadata.put("label", "Duration");
+        durationMetadata.put("readOnly", true);
+        this.durationValue = new Value(status.getTotalTime());
+        this.addProperty(new Property(this,
+                                      "duration",
+                                      this.durationValue,
+                                      durationMetadata));
+
         MPDSong song = this.client.getPlayer().getCurrentSong();
 
         // Add an 'artist' property.
@@ -462,6 +512,99 @@ public class MPDThing extends Thing {
         this.titleValue.notifyOfExternalUpdate(title);
     }
 
+    /**
+     * Get the elapsed time, interpolated from the last reference point.
+     */
+    private synchronized long getElapsed() {
+        if (!"play".equals(this.elapsedState)) {
+            return this.elapsedReference;
+        }
+
+        long delta = (System.currentTimeMillis() - this.elapsedTimestamp) / 1000;
+        long elapsed = this.elapsedReference + delta;
+
+        // Don't run past the end of the song while waiting for the next
+        // player or playlist event. Streams report a duration of 0.
+        if (this.elapsedDuration > 0 && elapsed > this.elapsedDuration) {
+            return this.elapsedDuration;
+        }
+
+        return elapsed;
+    }
+
+    /**
+     * Take a new elapsed time reference point from the given status.
+     */
+    private synchronized void setElapsedReference(ServerStatus status) {
+        this.elapsedReference = status.getElapsedTime();
+        this.elapsedDuration = status.getTotalTime();
+        this.elapsedTimestamp = System.currentTimeMillis();
+        this.elapsedState = status.getState();
+    }
+
+    /**
+     * Update the elapsed and duration properties from a fresh status.
+     */
+    private void updateElapsed(ServerStatus status) {
+        if (status == null) {
+            // The status object is cached, so make sure the reference is
+            // current.
+            status = this.getStatus();
+            status.forceUpdate();
+        }
+
+        this.setElapsedReference(status);
+
+        this.pushElapsed(status.getElapsedTime());
+        this.durationValue.notifyOfExternalUpdate(status.getTotalTime());
+    }
+
+    /**
+     * Update the elapsed and duration properties if the polled playback state
+     * differs from the one the reference point was taken in.
+     */
+    private void refreshElapsed(ServerStatus status) {
+        synchronized (this) {
+            if (status.getState().equals(this.elapsedState)) {
+                return;
+            }
+        }
+
+        this.updateElapsed(status);
+    }
+
+    /**
+     * Push the elapsed time to clients.
+     */
+    private void pushElapsed(long elapsed) {
+        // Value drops updates equal to its last value, but clients interpolate
+        // from it, so a repeated reference point, e.g. a new song starting at
+        // 0, still has to be sent.
+        if (Long.valueOf(elapsed).equals(this.elapsedValue.get())) {
+            this.propertyNotify(this.elapsedProperty);
+        } else {
+            this.elapsedValue.notifyOfExternalUpdate(elapsed);
+        }
+    }
+
+    /**
+     * Push a correction to the elapsed property if the interpolated value has
+     * drifted too far, e.g. after a seek.
+     */
+    private void correctElapsed(long elapsed) {
+        synchronized (this) {
+            if (Math.abs(elapsed - this.getElapsed()) <=
+                    ELAPSED_DRIFT_THRESHOLD) {
+                return;
+            }
+
+            this.elapsedReference = elapsed;
+            this.elapsedTimestamp = System.currentTimeMillis();
+        }
+
+        this.pushElapsed(elapsed);
+    }
+
     /**
      * Start or resume playback.
      */
@@ -682,6 +825,27 @@ public class MPDThing extends Thing {
         }
     }
 
+    /**
+     * Property for the elapsed time, which interpolates reads locally rather
+     * than polling MPD. The underlying value holds the last reference point.
+     */
+    private static class ElapsedProperty extends Property {
+        /**
+         * Initialize the property.
+         */
+        ElapsedProperty(MPDThing thing, Value value, JSONObject metadata) {
+            super(thing, "elapsed", value, metadata);
+        }
+
+        /**
+         * Get the current interpolated elapsed time.
+         */
+        @Override
+        public Object getValue() {
+            return ((MPDThing)this.getThing()).getElapsed();
+        }
+    }
+
     /**
      * Event to indicate that the current playlist was updated.
      */